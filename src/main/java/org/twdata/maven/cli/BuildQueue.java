@@ -0,0 +1,298 @@
+package org.twdata.maven.cli;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Runs builds on a single background thread so the console stays responsive.
+ * Jobs are executed one at a time, in the order they were submitted, as the
+ * Maven session they share is not thread safe.
+ */
+public class BuildQueue {
+
+    /**
+     * The work done by a job. Implementations should check
+     * {@link BuildJob#isCancelled()} between steps and return early once the
+     * job has been cancelled.
+     */
+    public interface BuildTask {
+        void run(BuildJob job) throws Exception;
+    }
+
+    /**
+     * Notified on the build thread each time a job has run
+     */
+    public interface JobListener {
+        void jobFinished(BuildJob job);
+    }
+
+    private final Log log;
+
+    private final ExecutorService executor;
+
+    private final Map<Integer, BuildJob> jobs = new LinkedHashMap<Integer, BuildJob>();
+
+    private int nextId = 1;
+
+    private Throwable firstFailure;
+
+    private volatile JobListener listener;
+
+    public BuildQueue(Log log) {
+        this.log = log;
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "maven-cli-build");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Queues a task for execution
+     *
+     * @param description
+     *            The text shown when listing jobs
+     * @param task
+     *            The work to run
+     * @return The queued job
+     */
+    public BuildJob submit(String description, BuildTask task) {
+        return submit(description, task, true);
+    }
+
+    /**
+     * Queues a task for execution
+     *
+     * @param description
+     *            The text shown when listing jobs
+     * @param task
+     *            The work to run
+     * @param cancellable
+     *            Whether the job may be cancelled, false for work later jobs
+     *            depend on
+     * @return The queued job
+     */
+    public synchronized BuildJob submit(String description, BuildTask task,
+            boolean cancellable) {
+        BuildJob job = new BuildJob(nextId++, description, task, cancellable);
+        jobs.put(job.getId(), job);
+        job.future = executor.submit(job);
+        return job;
+    }
+
+    public void setJobListener(JobListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return The first exception thrown by a job, or null if none failed
+     */
+    public synchronized Throwable getFirstFailure() {
+        return firstFailure;
+    }
+
+    /**
+     * @return The jobs that are queued or running, in submission order
+     */
+    public synchronized List<BuildJob> getJobs() {
+        return new ArrayList<BuildJob>(jobs.values());
+    }
+
+    /**
+     * Cancels a job. A queued job is dropped; a running job stops before its
+     * next mojo, leaving the embedded Maven instance intact.
+     *
+     * @param id
+     *            The job id
+     * @return false if no such job is queued or running
+     */
+    public synchronized boolean cancel(int id) {
+        BuildJob job = jobs.get(id);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        return true;
+    }
+
+    /**
+     * Cancels every queued and running job, logging each one dropped
+     */
+    public synchronized void cancelAll() {
+        // cancelling a queued job removes it from the map
+        for (BuildJob job : new ArrayList<BuildJob>(jobs.values())) {
+            job.cancel();
+        }
+    }
+
+    /**
+     * Logs the queued and running jobs
+     */
+    public void listJobs() {
+        List<BuildJob> current = getJobs();
+        if (current.isEmpty()) {
+            log.info("No jobs running");
+            return;
+        }
+        log.info("Listing jobs: ");
+        for (BuildJob job : current) {
+            log.info("* " + job);
+        }
+    }
+
+    /**
+     * Handles the arguments of a cancel command: either a job id or nothing,
+     * which cancels all jobs.
+     *
+     * @param argument
+     *            The text following the cancel command, may be empty
+     */
+    public void cancel(String argument) {
+        if (argument.length() == 0) {
+            if (getJobs().isEmpty()) {
+                log.info("No jobs running");
+            }
+            cancelAll();
+            return;
+        }
+        try {
+            int id = Integer.parseInt(argument);
+            if (!cancel(id)) {
+                log.error("No such job: " + id);
+            }
+        } catch (NumberFormatException e) {
+            log.error("Invalid job id: " + argument);
+        }
+    }
+
+    /**
+     * Stops accepting jobs and waits for the queued ones to complete. Call
+     * {@link #cancelAll()} first to drop them instead.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                log.info("Waiting for remaining jobs to complete");
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void remove(BuildJob job) {
+        jobs.remove(job.getId());
+    }
+
+    private synchronized void failed(Throwable e) {
+        if (firstFailure == null) {
+            firstFailure = e;
+        }
+    }
+
+    public class BuildJob implements Runnable {
+        private final int id;
+
+        private final String description;
+
+        private final BuildTask task;
+
+        private final boolean cancellable;
+
+        private volatile boolean cancelled;
+
+        private volatile boolean running;
+
+        private boolean started;
+
+        private Future<?> future;
+
+        private BuildJob(int id, String description, BuildTask task,
+                boolean cancellable) {
+            this.id = id;
+            this.description = description;
+            this.task = task;
+            this.cancellable = cancellable;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Always called with the queue locked, so this can't race with
+         * {@link #run()} marking the job as started.
+         */
+        private void cancel() {
+            if (!cancellable) {
+                log.info("Job " + id + " cannot be cancelled: " + description);
+                return;
+            }
+            cancelled = true;
+            if (started) {
+                log.info("Cancelling job " + id
+                        + ", it will stop before its next mojo");
+            } else {
+                // run() may never be called, so it can't clean up after it
+                future.cancel(false);
+                remove(this);
+                log.info("Dropped job " + id + ": " + description);
+            }
+        }
+
+        public void run() {
+            synchronized (BuildQueue.this) {
+                if (cancelled) {
+                    return;
+                }
+                started = true;
+                running = true;
+            }
+            try {
+                task.run(this);
+                if (cancelled) {
+                    log.info("Job " + id + " cancelled");
+                }
+            } catch (Throwable e) {
+                failed(e);
+                log.error("Job " + id + " failed: " + e.getMessage(), e);
+            } finally {
+                running = false;
+                remove(this);
+            }
+            JobListener current = listener;
+            if (current != null) {
+                current.jobFinished(this);
+            }
+        }
+
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("[").append(id).append("] ").append(description);
+            if (cancelled) {
+                sb.append(" (cancelling)");
+            } else if (running) {
+                sb.append(" (running)");
+            } else {
+                sb.append(" (queued)");
+            }
+            return sb.toString();
+        }
+    }
+}
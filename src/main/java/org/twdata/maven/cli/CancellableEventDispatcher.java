@@ -0,0 +1,73 @@
+package org.twdata.maven.cli;
+
+import org.apache.maven.monitor.event.DefaultEventDispatcher;
+import org.apache.maven.monitor.event.EventDispatcher;
+import org.apache.maven.monitor.event.EventMonitor;
+import org.apache.maven.monitor.event.MavenEvents;
+
+/**
+ * Event dispatcher for a single build request. Events are forwarded to the
+ * session's dispatcher, and the build is aborted before its next mojo once
+ * the job running it has been cancelled.
+ *
+ * A new instance is created for each request, so monitors added during a
+ * build don't pile up on the session's dispatcher.
+ */
+public class CancellableEventDispatcher implements EventDispatcher {
+
+    /**
+     * Thrown out of the lifecycle to stop a cancelled build
+     */
+    public static class BuildCancelledException extends RuntimeException {
+        public BuildCancelledException(String message) {
+            super(message);
+        }
+    }
+
+    private final EventDispatcher sessionDispatcher;
+
+    private final EventDispatcher requestDispatcher = new DefaultEventDispatcher();
+
+    public CancellableEventDispatcher(EventDispatcher sessionDispatcher,
+            final BuildQueue.BuildJob job) {
+        this.sessionDispatcher = sessionDispatcher;
+        requestDispatcher.addEventMonitor(new EventMonitor() {
+            public void startEvent(String eventName, String target,
+                    long timestamp) {
+                if (MavenEvents.MOJO_EXECUTION.equals(eventName)
+                        && job.isCancelled()) {
+                    throw new BuildCancelledException("Cancelled before "
+                            + target);
+                }
+            }
+
+            public void endEvent(String eventName, String target,
+                    long timestamp) {
+            }
+
+            public void errorEvent(String eventName, String target,
+                    long timestamp, Throwable cause) {
+            }
+        });
+    }
+
+    public void addEventMonitor(EventMonitor monitor) {
+        requestDispatcher.addEventMonitor(monitor);
+    }
+
+    public void dispatchStart(String event, String target) {
+        // abort before the session's monitors report a mojo that never runs
+        requestDispatcher.dispatchStart(event, target);
+        sessionDispatcher.dispatchStart(event, target);
+    }
+
+    public void dispatchEnd(String event, String target) {
+        requestDispatcher.dispatchEnd(event, target);
+        sessionDispatcher.dispatchEnd(event, target);
+    }
+
+    public void dispatchError(String event, String target, Throwable error) {
+        requestDispatcher.dispatchError(event, target, error);
+        sessionDispatcher.dispatchError(event, target, error);
+    }
+}
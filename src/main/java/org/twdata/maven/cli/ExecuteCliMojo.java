@@ -66,6 +66,21 @@ public class ExecuteCliMojo extends AbstractMojo {
                 }
             });
 
+    private final List<String> jobsCommands = Collections
+            .unmodifiableList(new ArrayList<String>() {
+                {
+                    add("jobs");
+                }
+            });
+
+    private final List<String> cancelCommands = Collections
+            .unmodifiableList(new ArrayList<String>() {
+                {
+                    add("cancel");
+                    add("kill");
+                }
+            });
+
     private final List<String> exitCommands = Collections
             .unmodifiableList(new ArrayList<String>() {
                 {
@@ -116,6 +131,8 @@ public class ExecuteCliMojo extends AbstractMojo {
      */
     protected List reactorProjects;
 
+    private volatile boolean readingCommand;
+
     public void execute() throws MojoExecutionException {
         // build a list of command aliases
         Map<String, String> aliases = new HashMap<String, String>();
@@ -129,11 +146,28 @@ public class ExecuteCliMojo extends AbstractMojo {
         availableCommands.addAll(aliases.keySet());
         availableCommands.addAll(exitCommands);
         availableCommands.addAll(listCommands);
+        availableCommands.addAll(jobsCommands);
+        availableCommands.addAll(cancelCommands);
+
+        BuildQueue buildQueue = new BuildQueue(getLog());
+        boolean exitRequested = false;
 
         getLog().info("Waiting for commands");
         try {
-            ConsoleReader reader = new ConsoleReader(System.in,
+            final ConsoleReader reader = new ConsoleReader(System.in,
                     new OutputStreamWriter(System.out));
+            buildQueue.setJobListener(new BuildQueue.JobListener() {
+                public void jobFinished(BuildQueue.BuildJob job) {
+                    // the job's output has overwritten the prompt
+                    if (readingCommand) {
+                        try {
+                            reader.redrawLine();
+                        } catch (IOException e) {
+                            getLog().debug("Unable to redraw prompt", e);
+                        }
+                    }
+                }
+            });
             reader.addCompletor(new CommandsCompletor(availableCommands));
             reader.setDefaultPrompt("maven2> ");
             String line;
@@ -142,7 +176,15 @@ public class ExecuteCliMojo extends AbstractMojo {
                 if (StringUtils.isEmpty(line)) {
                     continue;
                 } else if (exitCommands.contains(line)) {
+                    // end of input lets queued jobs complete, exit drops them
+                    buildQueue.cancelAll();
+                    exitRequested = true;
                     break;
+                } else if (jobsCommands.contains(line)) {
+                    buildQueue.listJobs();
+                } else if (cancelCommands.contains(commandName(line))) {
+                    buildQueue.cancel(line.substring(
+                            commandName(line).length()).trim());
                 } else if (listCommands.contains(line)) {
                     getLog().info("Listing available projects: ");
                     for (Object reactorProject : reactorProjects) {
@@ -160,24 +202,49 @@ public class ExecuteCliMojo extends AbstractMojo {
                         continue;
                     }
 
-                    for (MojoCall call : calls) {
-                        getLog().info("Executing: " + call);
-                        long start = System.currentTimeMillis();
-                        executeMojo(plugin(groupId(call.getGroupId()),
-                                artifactId(call.getArtifactId()), version(call
-                                        .getVersion(project))), goal(call
-                                .getGoal()), configuration(),
-                                executionEnvironment(project, session,
-                                        pluginManager));
-                        long now = System.currentTimeMillis();
-                        getLog().info(
-                                "Execution time: " + (now - start) + " ms");
-                    }
+                    final List<MojoCall> jobCalls = calls;
+                    BuildQueue.BuildJob queued = buildQueue.submit(line,
+                            new BuildQueue.BuildTask() {
+                                public void run(BuildQueue.BuildJob job)
+                                        throws MojoExecutionException {
+                                    executeCalls(job, jobCalls);
+                                }
+                            });
+                    getLog().info("Queued job " + queued.getId() + ": " + line);
                 }
             }
         } catch (IOException e) {
             throw new MojoExecutionException("Unable to execute cli commands",
                     e);
+        } finally {
+            buildQueue.shutdown();
+        }
+
+        // when commands are piped in, a failed build fails the mojo
+        Throwable failure = buildQueue.getFirstFailure();
+        if (!exitRequested && failure != null) {
+            if (failure instanceof MojoExecutionException) {
+                throw (MojoExecutionException) failure;
+            }
+            throw new MojoExecutionException("Unable to execute cli commands",
+                    failure);
+        }
+    }
+
+    private void executeCalls(BuildQueue.BuildJob job, List<MojoCall> calls)
+            throws MojoExecutionException {
+        for (MojoCall call : calls) {
+            if (job.isCancelled()) {
+                return;
+            }
+            getLog().info("Executing: " + call);
+            long start = System.currentTimeMillis();
+            executeMojo(plugin(groupId(call.getGroupId()), artifactId(call
+                    .getArtifactId()), version(call.getVersion(project))),
+                    goal(call.getGoal()), configuration(),
+                    executionEnvironment(project, session, pluginManager));
+            long now = System.currentTimeMillis();
+            getLog().info("Execution time: " + (now - start) + " ms");
         }
     }
 
@@ -210,7 +277,17 @@ public class ExecuteCliMojo extends AbstractMojo {
     }
 
     private String readCommand(ConsoleReader reader) throws IOException {
-        return reader.readLine();
+        readingCommand = true;
+        try {
+            return reader.readLine();
+        } finally {
+            readingCommand = false;
+        }
+    }
+
+    private static String commandName(String line) {
+        int space = line.indexOf(' ');
+        return space < 0 ? line : line.substring(0, space);
     }
 
     private static class MojoCall {
@@ -76,6 +76,21 @@ public class ExecutePhaseCliMojo extends AbstractMojo {
                 }
             });
 
+    private final List<String> jobsCommands = Collections
+            .unmodifiableList(new ArrayList<String>() {
+                {
+                    add("jobs");
+                }
+            });
+
+    private final List<String> cancelCommands = Collections
+            .unmodifiableList(new ArrayList<String>() {
+                {
+                    add("cancel");
+                    add("kill");
+                }
+            });
+
     private final List<String> exitCommands = Collections
             .unmodifiableList(new ArrayList<String>() {
                 {
@@ -132,7 +147,12 @@ public class ExecutePhaseCliMojo extends AbstractMojo {
     protected Maven embeddedMaven;
     protected File userDir;
 
+    private volatile MojoExecutionException embedderStartupError;
+
+    private volatile boolean readingCommand;
+
     public void execute() throws MojoExecutionException {
+        long start = System.currentTimeMillis();
         modules = new HashMap<String, MavenProject>();
         for (Object reactorProject : reactorProjects) {
             modules.put(((MavenProject) reactorProject).getArtifactId(),
@@ -143,7 +163,28 @@ public class ExecutePhaseCliMojo extends AbstractMojo {
             userAliases = new HashMap<String, String>();
         }
 
-        initEmbeddedMaven();
+        userDir = new File(System.getProperty("user.dir"));
+
+        // start the embedder as the first job, so the prompt is available
+        // while it loads and builds simply queue up behind it
+        BuildQueue buildQueue = new BuildQueue(getLog());
+        buildQueue.submit("start embedded Maven", new BuildQueue.BuildTask() {
+            public void run(BuildQueue.BuildJob job)
+                    throws MojoExecutionException {
+                try {
+                    initEmbeddedMaven();
+                } catch (MojoExecutionException e) {
+                    embedderStartupError = e;
+                    throw e;
+                } catch (Throwable e) {
+                    // classloading problems surface as errors, not exceptions
+                    embedderStartupError = new MojoExecutionException(
+                            "Unable to start embedded Maven: "
+                                    + e.getMessage(), e);
+                    throw embedderStartupError;
+                }
+            }
+        }, false);
 
         // build list of commands available for completion
         List<String> availableCommands = new ArrayList<String>();
@@ -151,23 +192,46 @@ public class ExecutePhaseCliMojo extends AbstractMojo {
         availableCommands.addAll(userAliases.keySet());
         availableCommands.addAll(exitCommands);
         availableCommands.addAll(listCommands);
+        availableCommands.addAll(jobsCommands);
+        availableCommands.addAll(cancelCommands);
         availableCommands.addAll(modules.keySet());
         availableCommands.addAll(defaultProperties);
 
-        getLog().info("Waiting for commands");
         try {
-            ConsoleReader reader = new ConsoleReader(System.in,
+            final ConsoleReader reader = new ConsoleReader(System.in,
                     new OutputStreamWriter(System.out));
+            buildQueue.setJobListener(new BuildQueue.JobListener() {
+                public void jobFinished(BuildQueue.BuildJob job) {
+                    // the job's output has overwritten the prompt
+                    if (readingCommand) {
+                        try {
+                            reader.redrawLine();
+                        } catch (IOException e) {
+                            getLog().debug("Unable to redraw prompt", e);
+                        }
+                    }
+                }
+            });
             reader.addCompletor(new CommandsCompletor(availableCommands));
             reader.setBellEnabled(false);
             reader.setDefaultPrompt("maven2> ");
+            long now = System.currentTimeMillis();
+            getLog().info("Startup time: " + (now - start) + " ms");
+            getLog().info("Waiting for commands");
             String line;
 
             while ((line = readCommand(reader)) != null) {
                 if (StringUtils.isEmpty(line)) {
                     continue;
                 } else if (exitCommands.contains(line)) {
+                    // end of input lets queued jobs complete, exit drops them
+                    buildQueue.cancelAll();
                     break;
+                } else if (jobsCommands.contains(line)) {
+                    buildQueue.listJobs();
+                } else if (cancelCommands.contains(commandName(line))) {
+                    buildQueue.cancel(line.substring(
+                            commandName(line).length()).trim());
                 } else if (listCommands.contains(line)) {
                     getLog().info("Listing available projects: ");
                     for (Object reactorProject : reactorProjects) {
@@ -185,33 +249,43 @@ public class ExecutePhaseCliMojo extends AbstractMojo {
                         continue;
                     }
 
-                    for (CommandCall call : calls) {
-                        getLog().info("Executing: " + call);
-                        long start = System.currentTimeMillis();
-                        executeCommand(call);
-                        long now = System.currentTimeMillis();
-                        getLog().info(
-                                "Execution time: " + (now - start) + " ms");
-
-                    }
+                    final List<CommandCall> jobCalls = calls;
+                    BuildQueue.BuildJob queued = buildQueue.submit(line,
+                            new BuildQueue.BuildTask() {
+                                public void run(BuildQueue.BuildJob job) {
+                                    executeCalls(job, jobCalls);
+                                }
+                            });
+                    getLog().info("Queued job " + queued.getId() + ": " + line);
                 }
             }
         } catch (IOException e) {
             throw new MojoExecutionException("Unable to execute cli commands",
                     e);
+        } finally {
+            buildQueue.shutdown();
+        }
+
+        if (embedderStartupError != null) {
+            throw embedderStartupError;
         }
     }
 
     private void initEmbeddedMaven() throws MojoExecutionException {
         try {
+            long start = System.currentTimeMillis();
             embedder = new Embedder();
             embedder.start();
             embeddedMaven = (Maven) embedder.lookup(Maven.ROLE);
-            userDir = new File(System.getProperty("user.dir"));
+            long now = System.currentTimeMillis();
+            getLog().info(
+                    "Embedded Maven startup time: " + (now - start) + " ms");
         } catch (PlexusContainerException e) {
-            throw new MojoExecutionException(e.getMessage());
+            throw new MojoExecutionException(
+                    "Unable to start embedded Maven: " + e.getMessage(), e);
         } catch (ComponentLookupException e) {
-            throw new MojoExecutionException(e.getMessage());
+            throw new MojoExecutionException(
+                    "Unable to start embedded Maven: " + e.getMessage(), e);
         }
     }
 
@@ -265,7 +339,17 @@ public class ExecutePhaseCliMojo extends AbstractMojo {
     }
 
     private String readCommand(ConsoleReader reader) throws IOException {
-        return reader.readLine();
+        readingCommand = true;
+        try {
+            return reader.readLine();
+        } finally {
+            readingCommand = false;
+        }
+    }
+
+    private static String commandName(String line) {
+        int space = line.indexOf(' ');
+        return space < 0 ? line : line.substring(0, space);
     }
 
     private CommandCall addProject(List<CommandCall> commands,
@@ -307,15 +391,45 @@ public class ExecutePhaseCliMojo extends AbstractMojo {
         return currentCommandCall;
     }
 
-    private void executeCommand(CommandCall commandCall) {
+    private void executeCalls(BuildQueue.BuildJob job, List<CommandCall> calls) {
+        if (embeddedMaven == null) {
+            if (embedderStartupError != null) {
+                getLog().error(
+                        "Embedded Maven is not available, exit and fix the "
+                                + "startup error: "
+                                + embedderStartupError.getMessage(),
+                        embedderStartupError);
+            } else {
+                getLog().error("Embedded Maven is not available");
+            }
+            return;
+        }
+        for (CommandCall call : calls) {
+            if (job.isCancelled()) {
+                return;
+            }
+            getLog().info("Executing: " + call);
+            long start = System.currentTimeMillis();
+            executeCommand(job, call);
+            long now = System.currentTimeMillis();
+            getLog().info("Execution time: " + (now - start) + " ms");
+        }
+    }
+
+    private void executeCommand(BuildQueue.BuildJob job,
+            CommandCall commandCall) {
         for (MavenProject currentProject : commandCall.getProjets()) {
+            if (job.isCancelled()) {
+                return;
+            }
             try {
                 session.getExecutionProperties().putAll(
                         commandCall.getProperties());
                 session.setCurrentProject(currentProject);
                 MavenExecutionRequest request = new DefaultMavenExecutionRequest(
                         session.getLocalRepository(), session.getSettings(),
-                        session.getEventDispatcher(),
+                        new CancellableEventDispatcher(session
+                                .getEventDispatcher(), job),
                         commandCall.getCommands(), userDir.getPath(),
                         new DefaultProfileManager(embedder.getContainer(),
                                 new Properties()), session
@@ -325,6 +439,9 @@ public class ExecutePhaseCliMojo extends AbstractMojo {
                         "pom.xml").getPath());
                 embeddedMaven.execute(request);
             } catch (Exception e) {
+                if (job.isCancelled()) {
+                    return;
+                }
                 getLog().error(
                         "Failed to execute '" + commandCall.getCommands()
                                 + "' on '" + currentProject.getArtifactId()
@@ -0,0 +1,164 @@
+package org.twdata.maven.cli;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+
+public class BuildQueueTest extends TestCase {
+
+    private BuildQueue queue;
+
+    private List<String> executed;
+
+    private CountDownLatch started;
+
+    private CountDownLatch release;
+
+    protected void setUp() {
+        queue = new BuildQueue(new SystemStreamLog());
+        executed = Collections.synchronizedList(new ArrayList<String>());
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    public void testRunsJobsInOrder() {
+        queue.submit("first", record("first"));
+        queue.submit("second", record("second"));
+        queue.shutdown();
+
+        assertEquals(2, executed.size());
+        assertEquals("first", executed.get(0));
+        assertEquals("second", executed.get(1));
+    }
+
+    public void testShutdownCompletesQueuedJobs() throws Exception {
+        queue.submit("blocking", blocking());
+        queue.submit("queued", record("queued"));
+        started.await(5, TimeUnit.SECONDS);
+        release.countDown();
+        queue.shutdown();
+
+        assertTrue(executed.contains("queued"));
+        assertTrue(queue.getJobs().isEmpty());
+    }
+
+    public void testCancelAllWithSeveralJobs() throws Exception {
+        BuildQueue.BuildJob running = queue.submit("blocking", blocking());
+        queue.submit("second", record("second"));
+        queue.submit("third", record("third"));
+        started.await(5, TimeUnit.SECONDS);
+
+        queue.cancelAll();
+
+        assertTrue(running.isCancelled());
+        assertEquals(1, queue.getJobs().size());
+        release.countDown();
+        queue.shutdown();
+        assertTrue(executed.isEmpty());
+    }
+
+    public void testCancelRunningJobKeepsItListed() throws Exception {
+        BuildQueue.BuildJob running = queue.submit("blocking", blocking());
+        started.await(5, TimeUnit.SECONDS);
+
+        assertTrue(queue.cancel(running.getId()));
+
+        assertEquals(1, queue.getJobs().size());
+        assertTrue(running.toString().endsWith("(cancelling)"));
+        release.countDown();
+        queue.shutdown();
+        assertTrue(queue.getJobs().isEmpty());
+    }
+
+    public void testUncancellableJobRunsToCompletion() throws Exception {
+        BuildQueue.BuildJob startup = queue.submit("startup",
+                blockingThenRecord("startup"), false);
+        queue.submit("queued", record("queued"));
+        started.await(5, TimeUnit.SECONDS);
+
+        queue.cancelAll();
+
+        assertFalse(startup.isCancelled());
+        assertEquals(1, queue.getJobs().size());
+        release.countDown();
+        queue.shutdown();
+        assertEquals(1, executed.size());
+        assertEquals("startup", executed.get(0));
+    }
+
+    public void testCancelUnknownJob() {
+        assertFalse(queue.cancel(42));
+        queue.shutdown();
+    }
+
+    public void testFailingJobDoesNotStopQueue() {
+        queue.submit("failing", new BuildQueue.BuildTask() {
+            public void run(BuildQueue.BuildJob job) {
+                throw new Error("expected");
+            }
+        });
+        queue.submit("next", new BuildQueue.BuildTask() {
+            public void run(BuildQueue.BuildJob job) throws Exception {
+                throw new Exception("later");
+            }
+        });
+        queue.shutdown();
+
+        assertEquals("expected", queue.getFirstFailure().getMessage());
+    }
+
+    public void testNoFailureRecordedForSuccessfulJobs() {
+        queue.submit("first", record("first"));
+        queue.shutdown();
+
+        assertNull(queue.getFirstFailure());
+    }
+
+    public void testJobListenerNotifiedAfterEachJob() {
+        final List<Integer> finished = Collections
+                .synchronizedList(new ArrayList<Integer>());
+        queue.setJobListener(new BuildQueue.JobListener() {
+            public void jobFinished(BuildQueue.BuildJob job) {
+                finished.add(job.getId());
+            }
+        });
+        queue.submit("first", record("first"));
+        queue.submit("second", record("second"));
+        queue.shutdown();
+
+        assertEquals(2, finished.size());
+    }
+
+    private BuildQueue.BuildTask record(final String name) {
+        return new BuildQueue.BuildTask() {
+            public void run(BuildQueue.BuildJob job) {
+                executed.add(name);
+            }
+        };
+    }
+
+    private BuildQueue.BuildTask blocking() {
+        return new BuildQueue.BuildTask() {
+            public void run(BuildQueue.BuildJob job) throws Exception {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+        };
+    }
+
+    private BuildQueue.BuildTask blockingThenRecord(final String name) {
+        final BuildQueue.BuildTask blocking = blocking();
+        return new BuildQueue.BuildTask() {
+            public void run(BuildQueue.BuildJob job) throws Exception {
+                blocking.run(job);
+                executed.add(name);
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package org.twdata.maven.cli;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.monitor.event.DefaultEventDispatcher;
+import org.apache.maven.monitor.event.EventMonitor;
+import org.apache.maven.monitor.event.MavenEvents;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+
+public class CancellableEventDispatcherTest extends TestCase {
+
+    private BuildQueue queue;
+
+    private BuildQueue.BuildJob job;
+
+    private DefaultEventDispatcher sessionDispatcher;
+
+    private List<String> sessionEvents;
+
+    protected void setUp() {
+        queue = new BuildQueue(new SystemStreamLog());
+        job = queue.submit("job", new BuildQueue.BuildTask() {
+            public void run(BuildQueue.BuildJob job) {
+            }
+        });
+        queue.shutdown();
+
+        sessionEvents = new ArrayList<String>();
+        sessionDispatcher = new DefaultEventDispatcher();
+        sessionDispatcher.addEventMonitor(new EventMonitor() {
+            public void startEvent(String eventName, String target,
+                    long timestamp) {
+                sessionEvents.add(eventName);
+            }
+
+            public void endEvent(String eventName, String target,
+                    long timestamp) {
+            }
+
+            public void errorEvent(String eventName, String target,
+                    long timestamp, Throwable cause) {
+            }
+        });
+    }
+
+    public void testForwardsToSessionDispatcher() {
+        CancellableEventDispatcher dispatcher = new CancellableEventDispatcher(
+                sessionDispatcher, job);
+
+        dispatcher.dispatchStart(MavenEvents.MOJO_EXECUTION, "compile");
+
+        assertEquals(1, sessionEvents.size());
+    }
+
+    public void testAbortsNextMojoOnceCancelled() {
+        CancellableEventDispatcher dispatcher = new CancellableEventDispatcher(
+                sessionDispatcher, cancelledJob());
+
+        try {
+            dispatcher.dispatchStart(MavenEvents.MOJO_EXECUTION, "compile");
+            fail("Expected the build to be cancelled");
+        } catch (CancellableEventDispatcher.BuildCancelledException e) {
+            // expected
+        }
+        assertTrue(sessionEvents.isEmpty());
+    }
+
+    public void testOtherEventsPassOnceCancelled() {
+        CancellableEventDispatcher dispatcher = new CancellableEventDispatcher(
+                sessionDispatcher, cancelledJob());
+
+        dispatcher.dispatchStart("project-execute", "app");
+
+        assertEquals(1, sessionEvents.size());
+    }
+
+    private BuildQueue.BuildJob cancelledJob() {
+        final CountDownLatch release = new CountDownLatch(1);
+        BuildQueue cancelling = new BuildQueue(new SystemStreamLog());
+        BuildQueue.BuildJob cancelled = cancelling.submit("cancelled",
+                new BuildQueue.BuildTask() {
+                    public void run(BuildQueue.BuildJob job) throws Exception {
+                        release.await(5, TimeUnit.SECONDS);
+                    }
+                });
+        cancelling.cancel(cancelled.getId());
+        release.countDown();
+        cancelling.shutdown();
+        return cancelled;
+    }
+}